@@ -0,0 +1,17 @@
+package haxidenti.parseit;
+
+/**
+ * Receives matches from the push-style {@link ParseIt} operations.<br>
+ * Match is reported as range of the source string, so no substrings are created
+ * unless handler creates them by itself.
+ */
+@FunctionalInterface
+public interface MatchHandler {
+    /**
+     * @param source      parsed string
+     * @param start       start index of the match (inclusive)
+     * @param end         end index of the match (exclusive)
+     * @param delimiterId id of the delimiter which ended the match (depends on operation)
+     */
+    void onMatch(String source, int start, int end, int delimiterId);
+}
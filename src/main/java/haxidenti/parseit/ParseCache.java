@@ -0,0 +1,166 @@
+package haxidenti.parseit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Opt-in cache of parse results for inputs which are parsed again and again.<br>
+ * Result is identified by input string and plan name (name of the operations chain you run on the input),
+ * so whole chain (for example {@link ParseIt#escapeQuoted(String, String)} and following reads) is skipped on hit.<br>
+ * Cache is split into segments with own lock. When cache is full, least recently used entries are evicted
+ * from the segments which hold more than their share of maxSize.<br>
+ * <b>Note:</b> cached results are shared between callers, so do not modify them.
+ *
+ * <pre>
+ * ParseCache&lt;String[]&gt; cache = new ParseCache&lt;&gt;(1000);
+ * String[] args = cache.get(code, "args", c -&gt; ParseIt.parse(c).readBetween("(", ")").string.split(","));
+ * </pre>
+ *
+ * @param <T> type of the cached results
+ */
+public class ParseCache<T> {
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 8;
+
+    private final Segment<T>[] segments;
+    private final int maxSize;
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxSize max count of cached results
+     */
+    @SuppressWarnings("unchecked")
+    public ParseCache(int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be positive");
+        this.maxSize = maxSize;
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE)));
+        segments = (Segment<T>[]) new Segment<?>[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(maxSize / count + ((i < maxSize % count) ? 1 : 0));
+        }
+    }
+
+    /**
+     * Returns cached result of plan for input, or parses input with parser and caches the result
+     *
+     * @param input  string to parse
+     * @param plan   name of the operations chain. Different chains on the same input must have different names
+     * @param parser operations chain. <code>null</code> results are not cached
+     * @return result of the parser
+     */
+    public T get(String input, String plan, Function<String, T> parser) {
+        Key key = new Key(input, plan);
+        Segment<T> segment = segmentFor(key);
+        T result;
+        synchronized (segment) {
+            result = segment.map.get(key);
+        }
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+        misses.increment();
+        result = parser.apply(input);
+        if (result == null) return null;
+        synchronized (segment) {
+            if (segment.map.put(key, result) == null) size.incrementAndGet();
+        }
+        if (size.get() > maxSize) evict(segment);
+        return result;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return hits / (hits + misses) or 0 if cache was never used
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return (total == 0) ? 0 : (double) h / total;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public void clear() {
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                size.addAndGet(-segment.map.size());
+                segment.map.clear();
+            }
+        }
+        hits.reset();
+        misses.reset();
+    }
+
+    private Segment<T> segmentFor(Key key) {
+        // Mixing the hash, so segment is not chosen by the same bits as bucket inside of the segment
+        int h = (key.hash * 0x9E3779B9) >>> 16;
+        return segments[h & (segments.length - 1)];
+    }
+
+    // Segments can grow over their share while cache is not full, so keys with bad hashes are not evicted too early
+    private void evict(Segment<T> first) {
+        int start = 0;
+        while (segments[start] != first) start++;
+        for (int i = 0; i < segments.length && size.get() > maxSize; i++) {
+            Segment<T> segment = segments[(start + i) % segments.length];
+            synchronized (segment) {
+                Iterator<Key> eldest = segment.map.keySet().iterator();
+                while (size.get() > maxSize && segment.map.size() > segment.share) {
+                    eldest.next();
+                    eldest.remove();
+                    size.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static class Segment<T> {
+        private final LinkedHashMap<Key, T> map = new LinkedHashMap<>(16, 0.75f, true);
+        private final int share;
+
+        Segment(int share) {
+            this.share = share;
+        }
+    }
+
+    private static class Key {
+        private final String input, plan;
+        private final int hash;
+
+        Key(String input, String plan) {
+            this.input = input;
+            this.plan = plan;
+            this.hash = 31 * input.hashCode() + plan.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return hash == key.hash &&
+                    input.equals(key.input) &&
+                    plan.equals(key.plan);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
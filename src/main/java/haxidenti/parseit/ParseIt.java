@@ -1,5 +1,8 @@
 package haxidenti.parseit;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
@@ -13,6 +16,9 @@ public class ParseIt {
     private String str;
     private int pos;
     private String escapeOperator;
+    private int[] lineStarts;
+    private int lineCount;
+    private int indexedTo;
 
     private ParseIt() {
         escapeOperator = "\\";
@@ -37,6 +43,42 @@ public class ParseIt {
     public void setString(String str) {
         this.str = str;
         this.pos = 0;
+        this.lineCount = 0;
+        this.indexedTo = 0;
+    }
+
+    /**
+     * @return line (starting from 1) of the current position
+     */
+    public int getLine() {
+        return getLine(pos);
+    }
+
+    /**
+     * @return column (starting from 1) of the current position
+     */
+    public int getColumn() {
+        return getColumn(pos);
+    }
+
+    /**
+     * Line starts are indexed lazily, only up to the biggest requested offset, so it's O(log n) for already indexed offsets
+     *
+     * @param offset index in parsed string
+     * @return line (starting from 1) of the offset
+     */
+    public int getLine(int offset) {
+        return lineIndexOf(offset) + 1;
+    }
+
+    /**
+     * @param offset index in parsed string
+     * @return column (starting from 1) of the offset
+     */
+    public int getColumn(int offset) {
+        offset = Math.max(0, Math.min(offset, str.length()));
+        int line = lineIndexOf(offset);
+        return offset - lineStarts[line] + 1;
     }
 
     public Result readToEnd() {
@@ -53,7 +95,7 @@ public class ParseIt {
         Position closest = posesSet.stream()
                 .min(Comparator.comparingInt(p -> p.index))
                 .orElse(null);
-        if (closest == null) return new Result(new Exception("No such symbols"));
+        if (closest == null) return error(new Exception("No such symbols"));
         String result = str.substring(pos, closest.index);
         pos = closest.index + closest.length;
         String skipped = str.substring(pos - closest.length, pos);
@@ -67,6 +109,43 @@ public class ParseIt {
         return result;
     }
 
+    /**
+     * Push variant of {@link #readUntil(String...)}. Reports text until closest of strings to handler<br>
+     * Delimiter id is index of the found string in strings.
+     *
+     * @param handler
+     * @param strings
+     * @return false if there are no such strings
+     */
+    public boolean readUntil(MatchHandler handler, String... strings) {
+        int closest = -1;
+        int closestId = -1;
+        for (int i = 0; i < strings.length; i++) {
+            int index = str.indexOf(strings[i], pos);
+            if (index < pos) continue;
+            if (closestId < 0 || index < closest) {
+                closest = index;
+                closestId = i;
+            }
+        }
+        if (closestId < 0) return false;
+        int start = pos;
+        pos = closest + strings[closestId].length();
+        handler.onMatch(str, start, closest, closestId);
+        return true;
+    }
+
+    /**
+     * Same as {@link #readUntil(MatchHandler, String...)}, but appends text to out
+     *
+     * @param out
+     * @param strings
+     * @return false if there are no such strings
+     */
+    public boolean readUntil(Appendable out, String... strings) {
+        return readUntil((source, start, end, id) -> append(out, source, start, end), strings);
+    }
+
     public String skip(int quantity) {
         StringBuilder builder = new StringBuilder();
         for (int i = 0; i < quantity; i++) {
@@ -109,7 +188,7 @@ public class ParseIt {
         int pos1 = 0;
         int pos2 = 0;
         boolean firstPosAlreadySet = false;
-        if (!contains(str, str1, str2)) return new Result(new Exception("no str1 or str2 found in parsing string"));
+        if (!contains(str, str1, str2)) return error(new Exception("no str1 or str2 found in parsing string"));
         List<Position> allPositions = poses.stream()
                 .sorted(Comparator.comparingInt(p -> p.index))
                 .collect(Collectors.toList());
@@ -137,10 +216,65 @@ public class ParseIt {
         try {
             return new Result(str.substring(pos1, pos2));
         } catch (Exception e) {
-            return new Result(e);
+            return error(e);
         }
     }
 
+    /**
+     * Push variant of {@link #readBetween(String, String)}. Reports text between str1 and str2 to handler<br>
+     * Delimiter id is always 2 (mark of the str2).
+     *
+     * @param handler
+     * @param str1
+     * @param str2
+     * @return false if there is no closing str2
+     */
+    public boolean readBetween(MatchHandler handler, String str1, String str2) {
+        if (str1 != null && str1.equals(str2)) throw new IllegalArgumentException("str1 can't be equal to str2");
+        int next1 = str.indexOf(str1, pos);
+        int next2 = str.indexOf(str2, pos);
+        int start = -1;
+        int deepness = 0;
+        while (next1 >= 0 || next2 >= 0) {
+            if (next2 < 0 || (next1 >= 0 && next1 <= next2)) {
+                if (start < 0) {
+                    start = next1 + str1.length();
+                } else {
+                    deepness++;
+                }
+                next1 = str.indexOf(str1, next1 + str1.length());
+                continue;
+            }
+            int closing = next2;
+            next2 = str.indexOf(str2, next2 + str2.length());
+            if (start < 0) {
+                start = closing + str2.length();
+                continue;
+            }
+            if (closing < start) continue;
+            if (deepness > 0) {
+                deepness--;
+                continue;
+            }
+            pos = closing + str2.length();
+            handler.onMatch(str, start, closing, 2);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Same as {@link #readBetween(MatchHandler, String, String)}, but appends text to out
+     *
+     * @param out
+     * @param str1
+     * @param str2
+     * @return false if there is no closing str2
+     */
+    public boolean readBetween(Appendable out, String str1, String str2) {
+        return readBetween((source, start, end, id) -> append(out, source, start, end), str1, str2);
+    }
+
     public Result readBetweenQuotes(String quote) {
         List<Position> poses = getPoses(this.str, quote, 0, this.pos).stream()
                 .sorted(Comparator.comparingInt(p -> p.index))
@@ -157,12 +291,42 @@ public class ParseIt {
                 break;
             }
         }
-        if (pos1 == null || pos2 == null) return new Result(new RuntimeException("There are no quotes"));
+        if (pos1 == null || pos2 == null) return error(new RuntimeException("There are no quotes"));
         Result result = new Result(this.str.substring(pos1.index + pos1.length, pos2.index), quote);
         this.pos = pos2.index + pos2.length;
         return result;
     }
 
+    /**
+     * Push variant of {@link #readBetweenQuotes(String)}. Reports text between quotes to handler<br>
+     * Delimiter id is always 0.
+     *
+     * @param handler
+     * @param quote
+     * @return false if there are no quotes
+     */
+    public boolean readBetweenQuotes(MatchHandler handler, String quote) {
+        int index1 = str.indexOf(quote, pos);
+        if (index1 < 0) return false;
+        int start = index1 + quote.length();
+        int index2 = str.indexOf(quote, start);
+        if (index2 < 0) return false;
+        pos = index2 + quote.length();
+        handler.onMatch(str, start, index2, 0);
+        return true;
+    }
+
+    /**
+     * Same as {@link #readBetweenQuotes(MatchHandler, String)}, but appends text to out
+     *
+     * @param out
+     * @param quote
+     * @return false if there are no quotes
+     */
+    public boolean readBetweenQuotes(Appendable out, String quote) {
+        return readBetweenQuotes((source, start, end, id) -> append(out, source, start, end), quote);
+    }
+
     public Escaped escape(String... strings) {
         Escaped escaped = new Escaped(str.substring(pos));
         int i = 0;
@@ -208,6 +372,33 @@ public class ParseIt {
         return escaped;
     }
 
+    /**
+     * Push variant of {@link #escapeQuoted(String)}. Reports text inside of each pair of quotes to handler<br>
+     * Quotes prefixed with escape operator are skipped. Delimiter id is number of quoted text, same as key in {@link Escaped#map}.<br>
+     * <b>Note:</b> reported text is raw, so escape operators are not removed from it.
+     *
+     * @param handler
+     * @param quote
+     * @return count of reported texts
+     */
+    public int escapeQuoted(MatchHandler handler, String quote) {
+        int cnt = 0;
+        int start = -1;
+        int index = pos;
+        while ((index = str.indexOf(quote, index)) >= 0) {
+            if (!str.startsWith(escapeOperator, index - escapeOperator.length())) {
+                if (start < 0) {
+                    start = index + quote.length();
+                } else {
+                    handler.onMatch(str, start, index, cnt++);
+                    start = -1;
+                }
+            }
+            index += quote.length();
+        }
+        return cnt;
+    }
+
     public boolean validate(String string, String delimiter) {
         int oldPos = pos;
         String[] arr = (string).split(Pattern.quote(delimiter));
@@ -241,6 +432,40 @@ public class ParseIt {
         return str.substring(0, start) + dest + str.substring(end);
     }
 
+    private Result error(Exception e) {
+        Result result = new Result(e);
+        result.line = getLine();
+        result.column = getColumn();
+        return result;
+    }
+
+    private int lineIndexOf(int offset) {
+        offset = Math.max(0, Math.min(offset, str.length()));
+        indexLinesTo(offset);
+        int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+        return (index >= 0) ? index : -index - 2;
+    }
+
+    private void indexLinesTo(int offset) {
+        if (lineStarts == null) lineStarts = new int[16];
+        if (lineCount == 0) lineStarts[lineCount++] = 0;
+        if (offset <= indexedTo) return;
+        for (int i = indexedTo; i < offset; i++) {
+            if (str.charAt(i) != '\n') continue;
+            if (lineCount == lineStarts.length) lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+            lineStarts[lineCount++] = i + 1;
+        }
+        indexedTo = offset;
+    }
+
+    private static void append(Appendable out, String str, int start, int end) {
+        try {
+            out.append(str, start, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private static Set<Position> getPoses(String str, String dest, int mark, int startPos) {
         Set<Position> poses = new HashSet<>();
         int destLength = dest.length();
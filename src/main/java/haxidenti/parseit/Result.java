@@ -3,6 +3,10 @@ package haxidenti.parseit;
 public class Result {
     public String string, skipped;
     public Exception exception;
+    /**
+     * Line and column (starting from 1) where parsing failed, or 0 if there is no error
+     */
+    public int line, column;
 
     public Result(String string) {
         this.string = nonNull(string);
@@ -2,6 +2,7 @@ package haxidenti.parseit;
 
 import org.junit.Test;
 
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import static org.junit.Assert.*;
@@ -288,6 +289,159 @@ public class ParseTest {
         assertTrue(p.validate("*=*", "*"));
     }
 
+    @Test
+    public void pushReadUntilTest01() {
+        ParseIt p = parse("xxx*&yyy");
+        int[] match = new int[3];
+        assertTrue(p.readUntil((source, start, end, id) -> {
+            match[0] = start;
+            match[1] = end;
+            match[2] = id;
+        }, "&", "*"));
+        assertArrayEquals(new int[]{0, 3, 1}, match);
+        assertEquals("&yyy", p.readToEnd().string);
+    }
+
+    @Test
+    public void pushReadUntilTest02() {
+        StringBuilder builder = new StringBuilder();
+        ParseIt p = parse("a,b;c");
+        assertTrue(p.readUntil(builder, ","));
+        assertTrue(p.readUntil(builder, ";"));
+        assertFalse(p.readUntil(builder, ","));
+        assertEquals("ab", builder.toString());
+    }
+
+    @Test
+    public void pushReadBetweenTest01() {
+        StringBuilder builder = new StringBuilder();
+        ParseIt p = parse("call(a(b), c) rest");
+        assertTrue(p.readBetween(builder, "(", ")"));
+        assertEquals("a(b), c", builder.toString());
+        assertEquals(" rest", p.readToEnd().string);
+    }
+
+    @Test
+    public void pushReadBetweenTest02() {
+        StringBuilder builder = new StringBuilder();
+        assertFalse(parse("aaa )( zzz").readBetween(builder, "(", ")"));
+        assertFalse(parse("aaa ( zzz").readBetween(builder, "(", ")"));
+        assertEquals("", builder.toString());
+    }
+
+    @Test
+    public void pushReadBetweenQuotesTest01() {
+        StringBuilder builder = new StringBuilder();
+        ParseIt p = parse("astie \"zig zag\" zzz \"Monku\"");
+        assertTrue(p.readBetweenQuotes(builder, "\""));
+        assertTrue(p.readBetweenQuotes(builder, "\""));
+        assertFalse(p.readBetweenQuotes(builder, "\""));
+        assertEquals("zig zagMonku", builder.toString());
+    }
+
+    @Test
+    public void pushEscapeQuotedTest01() {
+        StringBuilder builder = new StringBuilder();
+        ParseIt p = parse("t1: \"123\\\"321\" t2: \"zx\"");
+        int count = p.escapeQuoted((source, start, end, id) -> {
+            builder.append(id).append('=').append(source, start, end).append(';');
+        }, "\"");
+        assertEquals(2, count);
+        assertEquals("0=123\\\"321;1=zx;", builder.toString());
+    }
+
+    @Test
+    public void parseCacheTest01() {
+        ParseCache<String> cache = new ParseCache<>(10);
+        int[] calls = new int[1];
+        Function<String, String> args = code -> {
+            calls[0]++;
+            Escaped escaped = ParseIt.escapeQuoted(code, "\"");
+            return escaped.unescape(parse(escaped.string).readBetween("(", ")").string);
+        };
+        String code = "call(\"))\", b);";
+        assertEquals(")), b", cache.get(code, "args", args));
+        assertEquals(")), b", cache.get(code, "args", args));
+        assertEquals(1, calls[0]);
+        assertEquals("call", cache.get(code, "name", c -> parse(c).readUntil("(").string));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void parseCacheTest02() {
+        ParseCache<String> cache = new ParseCache<>(1);
+        cache.get("a", "plan", s -> s);
+        cache.get("b", "plan", s -> s);
+        cache.get("a", "plan", s -> s);
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getHitRate(), 0);
+        assertNull(cache.get("c", "plan", s -> null));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void parseCacheTest03() {
+        for (int maxSize : new int[]{20, 31, 1000}) {
+            ParseCache<String> cache = new ParseCache<>(maxSize);
+            for (int i = 0; i < maxSize; i++) {
+                cache.get("input" + i, "plan", s -> s);
+            }
+            assertEquals(maxSize, cache.size());
+            for (int i = 0; i < maxSize; i++) {
+                cache.get("input" + i, "plan", s -> s);
+            }
+            assertEquals(maxSize, cache.getHits());
+            cache.get("extra", "plan", s -> s);
+            assertEquals(maxSize, cache.size());
+        }
+    }
+
+    @Test
+    public void lineColumnTest01() {
+        ParseIt p = parse("first\nsecond line\n\nfourth");
+        assertEquals(1, p.getLine());
+        assertEquals(1, p.getColumn());
+        assertEquals(1, p.getLine(5));
+        assertEquals(6, p.getColumn(5));
+        assertEquals(2, p.getLine(6));
+        assertEquals(1, p.getColumn(6));
+        assertEquals(4, p.getLine(21));
+        assertEquals(5, p.getColumn(23));
+        assertEquals(2, p.getLine(8));
+        assertEquals(3, p.getLine(18));
+        assertEquals(1, p.getColumn(18));
+    }
+
+    @Test
+    public void lineColumnTest02() {
+        ParseIt p = parse("a(1)\nb(2\nc");
+        p.readUntil("\n");
+        Result result = p.readUntil("(");
+        assertFalse(result.hasError());
+        assertEquals(0, result.line);
+        assertEquals(2, p.getLine());
+        result = p.readUntil(")");
+        assertTrue(result.hasError());
+        assertEquals(2, result.line);
+        assertEquals(3, result.column);
+        p.setString("x\n\"y");
+        p.readUntil("\n");
+        result = p.readBetweenQuotes("\"");
+        assertEquals(2, result.line);
+        assertEquals(1, result.column);
+    }
+
+    @Test
+    public void lineColumnTest03() {
+        ParseIt p = parse("ab\ncd");
+        assertEquals(2, p.getColumn(4));
+        p.setString("x\ny");
+        assertEquals(1, p.getColumn(2));
+        assertEquals(2, p.getLine(2));
+    }
+
     private static ParseIt parse(String text) {
         return ParseIt.parse(text);
     }